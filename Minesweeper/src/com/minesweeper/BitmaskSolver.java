@@ -0,0 +1,162 @@
+package com.minesweeper;
+
+
+import java.util.Arrays;
+
+/**
+ * Exact solver for a region of at most 64 border tiles.
+ *
+ * Tile i of the region is bit i of a long, so an assignment of mines is a single
+ * long. Each numbered square around the region is a constraint: a mask of the
+ * tiles it touches and the range of mines still missing around them. A constraint
+ * holds when Long.bitCount(assignment & mask) is in the range.
+ *
+ * Small regions are enumerated in Gray-code order, flipping one bit per step.
+ * Larger regions are searched depth first, pruning with the same popcounts.
+ */
+class BitmaskSolver {
+
+    static final int MAX_TILES = 64;
+    // above this size every assignment is too many, search instead
+    static final int GRAY_LIMIT = 20;
+
+    private final int tiles;
+    private final long all;
+    private long[] masks = new long[16];
+    private int[] low = new int[16];
+    private int[] high = new int[16];
+    private int constraints;
+    private int minMines = 0;
+    private int maxMines;
+
+    private long mines;
+    private long safe;
+    private long solutions;
+    // assignments checked or search nodes visited
+    private long nodes;
+    // solutions in which tile i is a mine
+    private final long[] counts;
+
+    BitmaskSolver(int tiles) {
+        this.tiles = tiles;
+        all = tiles == MAX_TILES ? -1L : (1L << tiles) - 1;
+        maxMines = tiles;
+        counts = new long[tiles];
+    }
+
+    /**
+     * @param mask tiles around the numbered square
+     * @param low fewest mines the tiles can hold
+     * @param high most mines the tiles can hold, equal to low if every closed
+     * square around the numbered square is in the region
+     */
+    void addConstraint(long mask, int low, int high) {
+        if (constraints == masks.length) {
+            masks = Arrays.copyOf(masks, constraints * 2);
+            this.low = Arrays.copyOf(this.low, constraints * 2);
+            this.high = Arrays.copyOf(this.high, constraints * 2);
+        }
+        masks[constraints] = mask;
+        this.low[constraints] = low;
+        this.high[constraints] = high;
+        constraints++;
+    }
+
+    // limit the total number of mines in the region
+    void setMineRange(int minMines, int maxMines) {
+        this.minMines = minMines;
+        this.maxMines = maxMines;
+    }
+
+    /**
+     * Find every assignment that satisfies all constraints.
+     * @return false if there is none
+     */
+    boolean solve() {
+        mines = all;
+        safe = all;
+        solutions = 0;
+        nodes = 0;
+        Arrays.fill(counts, 0);
+
+        if (tiles <= GRAY_LIMIT) gray();
+        else search(0, 0L, 0L);
+
+        if (solutions == 0) {
+            mines = 0;
+            safe = 0;
+        }
+        return solutions > 0;
+    }
+
+    // tiles that are a mine in every solution
+    long mines() {
+        return mines;
+    }
+
+    // tiles that are empty in every solution
+    long safe() {
+        return safe;
+    }
+
+    long nodes() {
+        return nodes;
+    }
+
+    // share of the solutions in which the tile is a mine
+    double mineChance(int tile) {
+        return solutions == 0 ? 0 : (double) counts[tile] / solutions;
+    }
+
+    private void gray() {
+        long assignment = 0;
+        long count = 1L << tiles;
+        for (long i = 1; i <= count; i++) {
+            if (valid(assignment)) record(assignment);
+            // the i-th Gray code differs from the previous one in bit trailingZeros(i)
+            if (i < count) assignment ^= 1L << Long.numberOfTrailingZeros(i);
+        }
+    }
+
+    private boolean valid(long assignment) {
+        nodes++;
+        int count = Long.bitCount(assignment);
+        if (count < minMines || count > maxMines) return false;
+        for (int c = 0; c < constraints; c++) {
+            int found = Long.bitCount(assignment & masks[c]);
+            if (found < low[c] || found > high[c]) return false;
+        }
+        return true;
+    }
+
+    // tiles below bit "level" are assigned, tiles from "level" up are not
+    private void search(int level, long assignment, long assigned) {
+        nodes++;
+        int count = Long.bitCount(assignment);
+        if (count > maxMines || count + (tiles - level) < minMines) return;
+
+        long open = all & ~assigned;
+        for (int c = 0; c < constraints; c++) {
+            int found = Long.bitCount(assignment & masks[c]);
+            if (found > high[c] || found + Long.bitCount(open & masks[c]) < low[c]) return;
+        }
+
+        if (level == tiles) {
+            record(assignment);
+            return;
+        }
+
+        long bit = 1L << level;
+        search(level + 1, assignment | bit, assigned | bit);
+        search(level + 1, assignment, assigned | bit);
+    }
+
+    private void record(long assignment) {
+        mines &= assignment;
+        safe &= ~assignment;
+        solutions++;
+        for (long bits = assignment; bits != 0; bits &= bits - 1) {
+            counts[Long.numberOfTrailingZeros(bits)]++;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.minesweeper;
+
+
+/**
+ * The game as a solver sees it: the squares it can read, open and flag.
+ *
+ * Squares are addressed by row x and column y. An open square reads as the number
+ * of mines around it, 0 to 8. A square is identified by the cell id x * columns() + y.
+ */
+public interface Board {
+
+    int CLOSED = -1;
+    int FLAGGED = -2;
+
+    int rows();
+
+    int columns();
+
+    /**
+     * @param x
+     * @param y
+     * @return CLOSED, FLAGGED or the number of mines around the open square
+     */
+    int get(int x, int y);
+
+    /**
+     * Open a square, a blank square also opens the squares around it.
+     * @param x
+     * @param y
+     * @return false if the square is a mine
+     */
+    boolean open(int x, int y);
+
+    /**
+     * Open a square that is not known to be safe. Same as open(), but counted as a guess.
+     * @param x
+     * @param y
+     * @return false if the square is a mine
+     */
+    boolean guess(int x, int y);
+
+    /**
+     * Flag a square as a mine.
+     * @param x
+     * @param y
+     * @return false if the square is not a mine, it is left closed
+     */
+    boolean flag(int x, int y);
+
+    // mines on the whole board, flagged or not
+    int mines();
+
+    // squares opened or flagged so far
+    int moves();
+
+    /**
+     * @param i move number, from 0 to moves() - 1
+     * @return cell id of the square opened or flagged by move i
+     */
+    int moved(int i);
+
+    // every square is opened or flagged
+    boolean isSolved();
+
+    // a mine was opened
+    boolean isLost();
+
+    /**
+     * Next numbered square whose neighbourhood changed since it was last polled.
+     * Every numbered square is polled once after the board is set up.
+     * @return cell id, or -1 if nothing changed
+     */
+    int pollChanged();
+}
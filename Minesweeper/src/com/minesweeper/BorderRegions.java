@@ -0,0 +1,384 @@
+package com.minesweeper;
+
+
+import java.util.ArrayList;
+
+/**
+ * Border tiles of a board split into independent regions, and the two exact
+ * engines that solve a region: the bitmask kernel and the recursive backtrack.
+ *
+ * Built from the board when a strategy starts. The search grids stay in step with
+ * the board as long as squares are opened and flagged through open() and flag().
+ */
+class BorderRegions {
+
+    private final Board board;
+    private final int m;
+    private final int n;
+    private final SearchState search;
+    private final IntList blankTiles = new IntList();
+    private IntList borderTiles = new IntList();
+    private boolean optimization;
+    private ArrayList<boolean[]> solutions;
+
+    // result of the last solve(), tile i of the region
+    private boolean[] mines;
+    private boolean[] safe;
+    private double[] chance;
+    private long nodes;
+
+    BorderRegions(Board board) {
+        this.board = board;
+        m = board.rows();
+        n = board.columns();
+        search = new SearchState(board);
+        getPoints();
+    }
+
+    // Get list of full tiles
+    private void getPoints() {
+        // optimisation not run if only few tiles
+        optimization = false;
+        for (int x = 0; x < m; x++)
+            for (int y = 0; y < n; y++)
+                if (board.get(x, y) == Board.CLOSED) blankTiles.add(cell(x, y));
+
+        // Add all border tiles
+        for (int x = 0; x < m; x++)
+            for (int y = 0; y < n; y++)
+                if (isBorder(x, y)) borderTiles.add(cell(x, y));
+
+        // Count tiles outside range , 8 = limit for brute force
+        int countTilesOutsideRange = blankTiles.size() - borderTiles.size();
+        if (countTilesOutsideRange > 8) {
+            optimization = true;
+        } else borderTiles = blankTiles;
+    }
+
+    // nothing left to solve
+    boolean isEmpty() {
+        return borderTiles.size() == 0;
+    }
+
+    // any closed square, for when no region can be solved
+    int anyBlank() {
+        return blankTiles.get(0);
+    }
+
+    // remaining mines / closed squares
+    double density() {
+        return (double) (board.mines() - search.flags()) / blankTiles.size();
+    }
+
+    // segregateBorderTiles before running recursive
+    // endgame, stop segregateBorderTiles as it may miss some mine
+    ArrayList<IntList> regions() {
+        ArrayList<IntList> segregate;
+        if (!optimization) {
+            segregate = new ArrayList<>();
+            segregate.add(borderTiles);
+        } else segregate = tilesSegregate(borderTiles);
+        return segregate;
+    }
+
+    /**
+     * Find every assignment of mines to the region that fits the numbers around it.
+     * @param region border tiles, see regions()
+     * @param engine EngineSelector.BITMASK or EngineSelector.BACKTRACK
+     * @return false if there is none
+     */
+    boolean solve(IntList region, int engine) {
+        int size = region.size();
+        mines = new boolean[size];
+        safe = new boolean[size];
+        chance = new double[size];
+
+        if (engine == EngineSelector.BITMASK) {
+            BitmaskSolver kernel = bitmaskKernel(region);
+            boolean found = kernel.solve();
+            nodes = kernel.nodes();
+            for (int i = 0; i < size; i++) {
+                mines[i] = (kernel.mines() >>> i & 1) == 1;
+                safe[i] = (kernel.safe() >>> i & 1) == 1;
+                chance[i] = kernel.mineChance(i);
+            }
+            return found;
+        }
+
+        solutions = new ArrayList<>();
+        nodes = 0;
+        recursive(region, numberedAround(region), 0);
+        if (solutions.isEmpty()) return false;
+
+        // Check for solved squares
+        for (int i = 0; i < size; i++) {
+            int count = 0;
+            for (boolean[] solution : solutions) {
+                if (solution[i]) count++;
+            }
+            mines[i] = count == solutions.size();
+            safe[i] = count == 0;
+            chance[i] = (double) count / solutions.size();
+        }
+        solutions = null;
+        return true;
+    }
+
+    // tile i of the last region is a mine in every solution
+    boolean isMine(int i) {
+        return mines[i];
+    }
+
+    // tile i of the last region is empty in every solution
+    boolean isSafe(int i) {
+        return safe[i];
+    }
+
+    // share of the solutions in which tile i of the last region is a mine
+    double mineChance(int i) {
+        return chance[i];
+    }
+
+    // assignments checked or search nodes visited by the last solve()
+    long nodes() {
+        return nodes;
+    }
+
+    /**
+     * Open a square on the board and record it, with any blank squares it opened.
+     * @param tile cell id
+     * @return false if the square is a mine
+     */
+    boolean open(int tile) {
+        if (!board.open(tile / n, tile % n)) return false;
+
+        IntQueue queue = new IntQueue();
+        queue.add(tile);
+        search.set(tile / n, tile % n, false);
+        while (!queue.isEmpty()) {
+            int opened = queue.poll();
+            int tx = opened / n, ty = opened % n;
+            if (board.get(tx, ty) != 0) continue;
+            for (int x = Math.max(tx - 1, 0); x <= Math.min(tx + 1, m - 1); x++) {
+                for (int y = Math.max(ty - 1, 0); y <= Math.min(ty + 1, n - 1); y++) {
+                    if (board.get(x, y) >= 0 && !search.empty[x][y]) {
+                        search.set(x, y, false);
+                        queue.add(cell(x, y));
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Flag a square on the board and record it.
+     * @param tile cell id
+     * @return false if the square is not a mine
+     */
+    boolean flag(int tile) {
+        if (!board.flag(tile / n, tile % n)) return false;
+        search.set(tile / n, tile % n, true);
+        return true;
+    }
+
+    // Numbered squares around the region, the only ones its tiles can break
+    private IntList numberedAround(IntList region) {
+        IntList numbered = new IntList();
+        IntSet seen = new IntSet(m * n);
+        for (int i = 0; i < region.size(); i++) {
+            int tx = region.get(i) / n, ty = region.get(i) % n;
+            for (int x = Math.max(tx - 1, 0); x <= Math.min(tx + 1, m - 1); x++) {
+                for (int y = Math.max(ty - 1, 0); y <= Math.min(ty + 1, n - 1); y++) {
+                    if (board.get(x, y) > 0 && seen.add(cell(x, y))) numbered.add(cell(x, y));
+                }
+            }
+        }
+        return numbered;
+    }
+
+    // Build the bitmask constraints of a region: tile i is bit i
+    private BitmaskSolver bitmaskKernel(IntList region) {
+        BitmaskSolver kernel = new BitmaskSolver(region.size());
+        IntList numbered = numberedAround(region);
+
+        // squares opened by an earlier region can add numbers that also touch
+        // closed squares outside this region, those may hold some of the mines
+        for (int c = 0; c < numbered.size(); c++) {
+            int x = numbered.get(c) / n, y = numbered.get(c) % n;
+            long mask = 0;
+            for (int i = 0; i < region.size(); i++) {
+                int tx = region.get(i) / n, ty = region.get(i) % n;
+                if (Math.abs(tx - x) <= 1 && Math.abs(ty - y) <= 1) mask |= 1L << i;
+            }
+            int target = board.get(x, y) - countFlagsSurroundingTiles(search.flagMine, x, y);
+            int outside = -Long.bitCount(mask);
+            for (int i = Math.max(x - 1, 0); i <= Math.min(x + 1, m - 1); i++)
+                for (int j = Math.max(y - 1, 0); j <= Math.min(y + 1, n - 1); j++)
+                    if (board.get(i, j) == Board.CLOSED) outside++;
+            kernel.addConstraint(mask, Math.max(target - outside, 0), target);
+        }
+
+        // endgame: the region is every closed square, so it holds all remaining mines
+        int remaining = board.mines() - search.flags();
+        if (!optimization) kernel.setMineRange(remaining, remaining);
+        else kernel.setMineRange(0, remaining);
+
+        return kernel;
+    }
+
+    //segregateBorderTiles only if 2 regions are independent to each other
+    private ArrayList<IntList> tilesSegregate(IntList borderTiles) {
+
+        ArrayList<IntList> regions = new ArrayList<>();
+        IntSet border = new IntSet(m * n);
+        IntSet list = new IntSet(m * n);
+        for (int i = 0; i < borderTiles.size(); i++) border.add(borderTiles.get(i));
+
+        for (int start = 0; start < borderTiles.size(); start++) {
+
+            // Find start point
+            if (list.contains(borderTiles.get(start))) continue;
+
+            IntQueue queue = new IntQueue();
+            IntList lastRegion = new IntList();
+            queue.add(borderTiles.get(start));
+            list.add(borderTiles.get(start));
+
+            while (!queue.isEmpty()) {
+
+                int tile = queue.poll();
+                lastRegion.add(tile);
+                connectingTiles(border, queue, list, tile);
+
+            }
+
+            regions.add(lastRegion);
+
+        }
+
+        return regions;
+
+    }
+    // Find connecting tiles: border tiles sharing a numbered square with tile
+    private void connectingTiles(IntSet border, IntQueue queue, IntSet list, int tile) {
+        int tx = tile / n, ty = tile % n;
+
+        // numbered squares around the tile
+        for (int x = Math.max(tx - 1, 0); x <= Math.min(tx + 1, m - 1); x++) {
+            for (int y = Math.max(ty - 1, 0); y <= Math.min(ty + 1, n - 1); y++) {
+                if (board.get(x, y) <= 0) continue;
+
+                // border tiles around the numbered square
+                for (int cx = Math.max(x - 1, 0); cx <= Math.min(x + 1, m - 1); cx++) {
+                    for (int cy = Math.max(y - 1, 0); cy <= Math.min(y + 1, n - 1); cy++) {
+                        int compareTile = cell(cx, cy);
+                        if (border.contains(compareTile) && list.add(compareTile)) queue.add(compareTile);
+                    }
+                }
+            }
+        }
+    }
+
+
+    // numbered: squares around borderTiles, see numberedAround(), no other square can change
+    private void recursive(IntList borderTiles, IntList numbered, int level) {
+
+        nodes++;
+
+        int countflag = search.flags();
+        int totalMines = board.mines();
+        for (int c = 0; c < numbered.size(); c++) {
+            int x = numbered.get(c) / n, y = numbered.get(c) % n;
+            int currentTiles = board.get(x, y);
+
+            // Total tiles border
+            int countTilesBorder = (Math.min(x + 1, m - 1) - Math.max(x - 1, 0) + 1)
+                    * (Math.min(y + 1, n - 1) - Math.max(y - 1, 0) + 1) - 1;
+
+            // Situation: Multiple empty or multiple mines around
+            if ((countTilesBorder - countFlagsSurroundingTiles(search.empty, x, y) < currentTiles) ||
+                    (countFlagsSurroundingTiles(search.flagMine, x, y) > currentTiles)) return;
+
+        }
+        // Flags more than the original mine list size
+        if (countflag > totalMines) return;
+
+        // Problems solve
+        if (level == borderTiles.size()) {
+
+            if (!optimization && countflag < totalMines) return;
+
+            boolean[] solution = new boolean[borderTiles.size()];
+            for (int i = 0; i < borderTiles.size(); i++) {
+                int tile = borderTiles.get(i);
+                solution[i] = search.flagMine[tile / n][tile % n];
+            }
+            solutions.add(solution);
+            return;
+        }
+
+        int tile = borderTiles.get(level);
+
+        // Recursion for flag and no flag
+        int checkpoint = search.checkpoint();
+        search.assign(tile / n, tile % n, true);
+        recursive(borderTiles, numbered, level + 1);
+        search.undo(checkpoint);
+
+        search.assign(tile / n, tile % n, false);
+        recursive(borderTiles, numbered, level + 1);
+        search.undo(checkpoint);
+
+    }
+
+    //count flags surrounding the tiles
+    private int countFlagsSurroundingTiles(boolean[][] array, int x, int y) {
+        int mines = 0;
+        //top
+        if (y > 0) {
+            if (x > 0 && array[x - 1][y - 1]) mines++;
+            if (array[x][y - 1]) mines++;
+            if (x < array.length - 1 && array[x + 1][y - 1]) mines++;
+        }
+        //middle
+        if (x > 0 && array[x - 1][y]) mines++;
+        if (x < array.length - 1 && array[x + 1][y]) mines++;
+
+        //bottom
+        if (y < array[0].length - 1) {
+            if (x > 0 && array[x - 1][y + 1]) mines++;
+            if (array[x][y + 1]) mines++;
+            if (x < array.length - 1 && array[x + 1][y + 1]) mines++;
+        }
+
+        return mines;
+    }
+
+    //find all border tiles: unopen square with open square next to it
+    private boolean isBorder(int x, int y) {
+        if (board.get(x, y) != Board.CLOSED) return false;
+
+        //top
+        if (y > 0) {
+            if (x > 0 && board.get(x - 1, y - 1) >= 0) return true;
+            if (board.get(x, y - 1) >= 0) return true;
+            if (x < m - 1 && board.get(x + 1, y - 1) >= 0) return true;
+        }
+        //middle
+        if (x > 0 && board.get(x - 1, y) >= 0) return true;
+        if (x < m - 1 && board.get(x + 1, y) >= 0) return true;
+
+        //bottom
+        if (y < n - 1) {
+            if (x > 0 && board.get(x - 1, y + 1) >= 0) return true;
+            if (board.get(x, y + 1) >= 0) return true;
+            if (x < m - 1 && board.get(x + 1, y + 1) >= 0) return true;
+        }
+        return false;
+    }
+
+    private int cell(int x, int y) {
+        return x * n + y;
+    }
+}
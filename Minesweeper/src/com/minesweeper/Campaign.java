@@ -0,0 +1,71 @@
+package com.minesweeper;
+
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/******************************************************************************
+ *  Compilation:  javac Campaign.java
+ *  Execution:    java Campaign m n p games results [seed] [engine] [pipeline]
+ *
+ *  Plays a campaign of random games headless and appends one GameResult per
+ *  game to a columnar results file, then prints the summary of the whole file.
+ *  Game k is generated from Minesweeper.seeded(seed + k). engine is bitmask, backtrack or adaptive
+ *  (default), so two campaigns with the same seed compare engines on the same
+ *  boards. pipeline is standard (default), which stops when a guess is needed,
+ *  or guess, which guesses and plays every game to a win or a loss. Any other
+ *  engine or pipeline is rejected. A results file only takes games played with
+ *  the same pipeline.
+ *
+ *  Sample execution:
+ *
+ *      % java Campaign 16 30 0.2 100000 results.bin 1 bitmask
+ *      % java Campaign 16 30 0.2 100000 guessing.bin 1 adaptive guess
+ *
+ ******************************************************************************/
+
+public class Campaign {
+
+    public static void main(String[] args) throws IOException {
+
+        int m = Integer.parseInt(args[0]);
+        int n = Integer.parseInt(args[1]);
+        double p = Double.parseDouble(args[2]);
+        int games = Integer.parseInt(args[3]);
+        Path file = Paths.get(args[4]);
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+
+        String engine = args.length > 6 ? args[6] : "adaptive";
+        String kind = args.length > 7 ? args[7] : "standard";
+
+        // one pipeline for the campaign, so the engine selector learns across games
+        SolverPipeline pipeline;
+        if (kind.equals("standard")) pipeline = SolverPipeline.standard();
+        else if (kind.equals("guess")) pipeline = SolverPipeline.withGuessing();
+        else throw new IllegalArgumentException("Unknown pipeline " + kind + ", use standard or guess");
+
+        if (!engine.equals("adaptive")) {
+            int fixed = Arrays.asList(EngineSelector.NAMES).indexOf(engine);
+            if (fixed < 0) throw new IllegalArgumentException("Unknown engine " + engine + ", use adaptive, bitmask or backtrack");
+            pipeline.getEngines().setFixed(fixed);
+        }
+
+        long timestart = System.currentTimeMillis();
+        try (ResultsWriter writer = new ResultsWriter(file, pipeline)) {
+            for (int k = 0; k < games; k++) {
+                Minesweeper game = Minesweeper.headless(m, n, p, Minesweeper.seeded(seed + k), false, pipeline);
+                game.solution();
+
+                GameResult result = game.getResult();
+                result.seed = seed + k;
+                writer.append(result);
+            }
+        }
+        long time = System.currentTimeMillis() - timestart;
+        System.out.printf(" Played %d games.\n Time run (%dms)\n", games, time);
+
+        ResultsReader.summarize(file).print();
+    }
+}
@@ -0,0 +1,60 @@
+package com.minesweeper;
+
+
+/******************************************************************************
+ *  Compilation:  javac EngineCheck.java
+ *  Execution:    java EngineCheck m n p games [seed]
+ *
+ *  Checks the bitmask kernel against recursive(). Every game k is generated
+ *  from Minesweeper.seeded(seed + k) and solved twice without guessing, once with each engine
+ *  pinned. Both engines are exact, so they must end in the same outcome after
+ *  the same number of moves, and neither may ever open a mine.
+ *
+ *  Sample execution:
+ *
+ *      % java EngineCheck 16 30 0.2 3000 0
+ *
+ ******************************************************************************/
+
+public class EngineCheck {
+
+    public static void main(String[] args) {
+
+        int m = Integer.parseInt(args[0]);
+        int n = Integer.parseInt(args[1]);
+        double p = Double.parseDouble(args[2]);
+        int games = Integer.parseInt(args[3]);
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+        SolverPipeline bitmask = SolverPipeline.standard();
+        bitmask.getEngines().setFixed(EngineSelector.BITMASK);
+        SolverPipeline backtrack = SolverPipeline.standard();
+        backtrack.getEngines().setFixed(EngineSelector.BACKTRACK);
+
+        int failures = 0;
+        for (int k = 0; k < games; k++) {
+            Minesweeper first = play(m, n, p, seed + k, bitmask);
+            Minesweeper second = play(m, n, p, seed + k, backtrack);
+
+            boolean lost = first.isLost() || second.isLost();
+            if (lost || first.isSolved() != second.isSolved() || first.moves() != second.moves()) {
+                failures++;
+                System.out.printf("Seed %d: bitmask %s after %d moves, backtrack %s after %d moves\n", seed + k,
+                        outcome(first), first.moves(), outcome(second), second.moves());
+            }
+        }
+
+        System.out.printf(" Checked %d games, %d mismatches.\n", games, failures);
+        if (failures > 0) System.exit(1);
+    }
+
+    private static Minesweeper play(int m, int n, double p, long seed, SolverPipeline pipeline) {
+        Minesweeper game = Minesweeper.headless(m, n, p, Minesweeper.seeded(seed), false, pipeline);
+        game.solution();
+        return game;
+    }
+
+    private static String outcome(Minesweeper game) {
+        return game.isLost() ? "lost" : game.isSolved() ? "won" : "stuck";
+    }
+}
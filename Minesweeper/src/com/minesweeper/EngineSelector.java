@@ -0,0 +1,111 @@
+package com.minesweeper;
+
+
+/**
+ * Picks the engine that solves a region of border tiles.
+ *
+ * Regions are grouped by size and mine density. For each group the selector keeps
+ * the average time of every engine it has tried there, and picks the fastest one.
+ * Small groups try the backtrack engine a few times first so both engines have a
+ * cost to compare. An engine can also be fixed, to A/B engines on the same boards.
+ */
+public class EngineSelector {
+
+    public static final int BITMASK = 0;
+    public static final int BACKTRACK = 1;
+    public static final String[] NAMES = {"bitmask", "backtrack"};
+
+    // only explore the backtrack engine on regions this small, it is exponential
+    private static final int EXPLORE_TILES = 16;
+    private static final int EXPLORE_RUNS = 2;
+    private static final int SIZE_BUCKETS = 9;
+    private static final int DENSITY_BUCKETS = 4;
+
+    // -1 for adaptive
+    private int fixed = -1;
+    private final long[][] nanos = new long[SIZE_BUCKETS * DENSITY_BUCKETS][NAMES.length];
+    private final int[][] runs = new int[SIZE_BUCKETS * DENSITY_BUCKETS][NAMES.length];
+    // totals over every region, for GameResult
+    private long regions;
+    private long nodes;
+    private int maxRegion;
+
+    /**
+     * Always use one engine. Regions too big for the bitmask engine still use backtrack.
+     * @param engine BITMASK, BACKTRACK or -1 for adaptive
+     */
+    public void setFixed(int engine) {
+        this.fixed = engine;
+    }
+
+    /**
+     * @param tiles number of tiles in the region
+     * @param density remaining mines / closed squares
+     * @return the engine to use
+     */
+    public int choose(int tiles, double density) {
+        if (tiles > BitmaskSolver.MAX_TILES) return BACKTRACK;
+        if (fixed >= 0) return fixed;
+
+        int bucket = bucket(tiles, density);
+        if (tiles <= EXPLORE_TILES && runs[bucket][BACKTRACK] < EXPLORE_RUNS) return BACKTRACK;
+        if (runs[bucket][BACKTRACK] == 0 || runs[bucket][BITMASK] == 0) return BITMASK;
+
+        // compare the average costs without dividing
+        long bitmask = nanos[bucket][BITMASK] * runs[bucket][BACKTRACK];
+        long backtrack = nanos[bucket][BACKTRACK] * runs[bucket][BITMASK];
+        return backtrack < bitmask ? BACKTRACK : BITMASK;
+    }
+
+    /**
+     * @param tiles number of tiles in the region
+     * @param density remaining mines / closed squares
+     * @param engine the engine that solved the region
+     * @param nanos time the engine took
+     * @param nodes assignments checked or search nodes visited
+     */
+    public void record(int tiles, double density, int engine, long nanos, long nodes) {
+        int bucket = bucket(tiles, density);
+        this.nanos[bucket][engine] += nanos;
+        this.runs[bucket][engine]++;
+        this.regions++;
+        this.nodes += nodes;
+        this.maxRegion = Math.max(maxRegion, tiles);
+    }
+
+    public long regions() {
+        return regions;
+    }
+
+    public long nodes() {
+        return nodes;
+    }
+
+    // largest region since the last resetMaxRegion()
+    public int maxRegion() {
+        return maxRegion;
+    }
+
+    public void resetMaxRegion() {
+        maxRegion = 0;
+    }
+
+    public long nanos(int engine) {
+        long total = 0;
+        for (long[] bucket : nanos) total += bucket[engine];
+        return total;
+    }
+
+    public int runs(int engine) {
+        int total = 0;
+        for (int[] bucket : runs) total += bucket[engine];
+        return total;
+    }
+
+    // sizes 1-8, 9-16, ... 57-64, then one bucket for bigger regions
+    private int bucket(int tiles, double density) {
+        int size = Math.min((tiles - 1) / 8, SIZE_BUCKETS - 1);
+        int dense = Math.min((int) (density * DENSITY_BUCKETS), DENSITY_BUCKETS - 1);
+        return size * DENSITY_BUCKETS + Math.max(dense, 0);
+    }
+}
@@ -0,0 +1,44 @@
+package com.minesweeper;
+
+
+/**
+ * Tank algorithm: solves every region of border tiles exactly, and opens or flags
+ * the tiles that are the same in every solution.
+ *
+ * Each region is solved by the engine the selector picks for its size and density,
+ * and the time it took is fed back to the selector.
+ */
+public class ExactStrategy implements SolverStrategy {
+
+    private final EngineSelector engines;
+
+    public ExactStrategy(EngineSelector engines) {
+        this.engines = engines;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        int before = board.moves();
+
+        // Built once, regions only undo their own guesses
+        BorderRegions border = new BorderRegions(board);
+        if (border.isEmpty()) return false;
+        double density = border.density();
+
+        for (IntList region : border.regions()) {
+            int engine = engines.choose(region.size(), density);
+            long start = System.nanoTime();
+            boolean found = border.solve(region, engine);
+            engines.record(region.size(), density, engine, System.nanoTime() - start, border.nodes());
+
+            // Something screwed up
+            if (!found) break;
+
+            for (int i = 0; i < region.size(); i++) {
+                if (border.isMine(i)) border.flag(region.get(i));
+                else if (border.isSafe(i)) border.open(region.get(i));
+            }
+        }
+        return board.moves() != before;
+    }
+}
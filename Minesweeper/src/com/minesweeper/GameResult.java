@@ -0,0 +1,27 @@
+package com.minesweeper;
+
+
+/**
+ * Outcome and cost of one solved game, one record of a results file.
+ */
+public class GameResult {
+
+    public static final int WON = 0;
+    public static final int LOST = 1;
+    // no strategy could move, the game needs a guess
+    public static final int STUCK = 2;
+
+    public long seed;
+    // playable size of the game, m by n, without the border of the mine map
+    public int rows;
+    public int columns;
+    public int mines;
+    public int outcome;
+    public int guesses;
+    // search nodes explored by the region engines
+    public long nodes;
+    public int regions;
+    public int maxRegion;
+    // nanoseconds in each strategy of the pipeline, in pipeline order
+    public long[] phaseNanos;
+}
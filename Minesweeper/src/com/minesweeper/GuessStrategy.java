@@ -0,0 +1,47 @@
+package com.minesweeper;
+
+
+/**
+ * Probabilistic guess: opens the border tile least likely to be a mine.
+ *
+ * The chance of a tile is the share of the solutions of its region in which it is
+ * a mine, found by the engine the selector picks. If no region has a solution any
+ * closed square is opened.
+ */
+public class GuessStrategy implements SolverStrategy {
+
+    private final EngineSelector engines;
+
+    public GuessStrategy(EngineSelector engines) {
+        this.engines = engines;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        int n = board.columns();
+        BorderRegions border = new BorderRegions(board);
+        if (border.isEmpty()) return false;
+        double density = border.density();
+
+        int best = -1;
+        double bestChance = 1.0;
+        for (IntList region : border.regions()) {
+            int engine = engines.choose(region.size(), density);
+            long start = System.nanoTime();
+            boolean found = border.solve(region, engine);
+            engines.record(region.size(), density, engine, System.nanoTime() - start, border.nodes());
+            if (!found) continue;
+
+            for (int i = 0; i < region.size(); i++) {
+                if (best < 0 || border.mineChance(i) < bestChance) {
+                    best = region.get(i);
+                    bestChance = border.mineChance(i);
+                }
+            }
+        }
+
+        if (best < 0) best = border.anyBlank();
+        board.guess(best / n, best % n);
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package com.minesweeper;
+
+
+/**
+ * Log-scale histogram of non-negative longs, for percentiles over a stream.
+ *
+ * Values below 64 are counted exactly. Larger values go into 32 buckets per power
+ * of two, so a percentile is within about 3% of the true value whatever the count.
+ */
+public class Histogram {
+
+    private static final int EXACT = 64;
+    private static final int SUB_BITS = 5;
+    private static final int SUB = 1 << SUB_BITS;
+
+    private final long[] counts = new long[EXACT + (64 - 6) * SUB];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void add(long value) {
+        value = Math.max(value, 0);
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * @param p percentile in [0, 100]
+     * @return the lower bound of the bucket holding the percentile, 0 if empty
+     */
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        if (p >= 100) return max;
+        long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.max(min, Math.min(max, lowest(i)));
+        }
+        return max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return count == 0 ? 0 : max;
+    }
+
+    private static int index(long value) {
+        if (value < EXACT) return (int) value;
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB - 1);
+        return EXACT + (exp - 6) * SUB + sub;
+    }
+
+    private static long lowest(int index) {
+        if (index < EXACT) return index;
+        int exp = (index - EXACT) / SUB + 6;
+        int sub = (index - EXACT) % SUB;
+        return (long) (SUB + sub) << (exp - SUB_BITS);
+    }
+}
@@ -0,0 +1,52 @@
+package com.minesweeper;
+
+
+/**
+ * Growing list of cell ids.
+ */
+public class IntList {
+
+    private int[] items;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        items = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int id) {
+        if (size == items.length) {
+            int[] grow = new int[items.length * 2];
+            System.arraycopy(items, 0, grow, 0, size);
+            items = grow;
+        }
+        items[size++] = id;
+    }
+
+    public int get(int index) {
+        return items[index];
+    }
+
+    // linear search, for short lists
+    public int indexOf(int id) {
+        for (int i = 0; i < size; i++) {
+            if (items[i] == id) return i;
+        }
+        return -1;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.minesweeper;
+
+
+/**
+ * FIFO queue of cell ids in a growing ring buffer.
+ */
+public class IntQueue {
+
+    private int[] items;
+    private int head;
+    private int size;
+
+    public IntQueue() {
+        this(16);
+    }
+
+    public IntQueue(int capacity) {
+        items = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int id) {
+        if (size == items.length) {
+            int[] grow = new int[items.length * 2];
+            for (int i = 0; i < size; i++) {
+                grow[i] = items[(head + i) % items.length];
+            }
+            items = grow;
+            head = 0;
+        }
+        items[(head + size) % items.length] = id;
+        size++;
+    }
+
+    // remove and return the oldest id, the queue must not be empty
+    public int poll() {
+        int id = items[head];
+        head = (head + 1) % items.length;
+        size--;
+        return id;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
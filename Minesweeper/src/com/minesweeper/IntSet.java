@@ -0,0 +1,48 @@
+package com.minesweeper;
+
+
+/**
+ * Set of cell ids backed by a bitset.
+ *
+ * A cell (x, y) on a map with n columns has the id x * n + y, so every id is
+ * in [0, m * n) and the set is sized once for the whole map.
+ */
+public class IntSet {
+
+    private final long[] words;
+    private int size;
+
+    public IntSet(int capacity) {
+        words = new long[(capacity + 63) >>> 6];
+    }
+
+    public boolean contains(int id) {
+        return (words[id >>> 6] & (1L << id)) != 0;
+    }
+
+    // return true if the id was not in the set
+    public boolean add(int id) {
+        long bit = 1L << id;
+        if ((words[id >>> 6] & bit) != 0) return false;
+        words[id >>> 6] |= bit;
+        size++;
+        return true;
+    }
+
+    // return true if the id was in the set
+    public boolean remove(int id) {
+        long bit = 1L << id;
+        if ((words[id >>> 6] & bit) == 0) return false;
+        words[id >>> 6] &= ~bit;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.minesweeper;
+
+
+/**
+ * Local constraints between two numbered squares.
+ *
+ * If the closed squares around A are all around B too, the squares around B only
+ * hold the mines of B that are not in A. When those are none, or all of the other
+ * squares around B, the other squares are opened or flagged.
+ *
+ * The first run on a board checks every number. Later runs only check the numbers
+ * near the squares opened or flagged since the run before, the other pairs have
+ * not changed.
+ */
+public class LocalConstraintStrategy implements SolverStrategy {
+
+    // board of the last run and its moves at the start of that run
+    private Board board;
+    private int seen;
+
+    @Override
+    public boolean apply(Board board) {
+        int m = board.rows();
+        int n = board.columns();
+        int before = board.moves();
+        IntList a = new IntList(8);
+        IntList b = new IntList(8);
+        IntList numbers = changedNumbers(board);
+
+        for (int c = 0; c < numbers.size(); c++) {
+            int x = numbers.get(c) / n, y = numbers.get(c) % n;
+            int minesA = board.get(x, y) - closedAround(board, x, y, a);
+            if (a.isEmpty()) continue;
+
+            for (int bx = Math.max(x - 2, 0); bx <= Math.min(x + 2, m - 1); bx++) {
+                for (int by = Math.max(y - 2, 0); by <= Math.min(y + 2, n - 1); by++) {
+                    if (!isNumber(board, bx, by) || (bx == x && by == y)) continue;
+                    int minesB = board.get(bx, by) - closedAround(board, bx, by, b);
+                    if (b.size() <= a.size()) continue;
+
+                    boolean subset = true;
+                    for (int i = 0; i < a.size() && subset; i++) subset = b.indexOf(a.get(i)) >= 0;
+                    if (!subset) continue;
+
+                    int extra = minesB - minesA;
+                    if (extra != 0 && extra != b.size() - a.size()) continue;
+
+                    for (int i = 0; i < b.size(); i++) {
+                        int tile = b.get(i);
+                        if (a.indexOf(tile) >= 0) continue;
+                        if (extra == 0) board.open(tile / n, tile % n);
+                        else board.flag(tile / n, tile % n);
+                    }
+                }
+            }
+        }
+        return board.moves() != before;
+    }
+
+    // A pair A, B only changes if a square around A or around B changed, and B is
+    // within 2 squares of A, so A is within 3 squares of the change
+    private IntList changedNumbers(Board board) {
+        int m = board.rows();
+        int n = board.columns();
+        IntList numbers = new IntList();
+        boolean all = board != this.board || seen > board.moves();
+        int from = seen;
+        this.board = board;
+        seen = board.moves();
+
+        if (all) {
+            for (int x = 0; x < m; x++)
+                for (int y = 0; y < n; y++)
+                    if (isNumber(board, x, y)) numbers.add(x * n + y);
+            return numbers;
+        }
+
+        IntSet added = new IntSet(m * n);
+        for (int i = from; i < seen; i++) {
+            int tx = board.moved(i) / n, ty = board.moved(i) % n;
+            for (int x = Math.max(tx - 3, 0); x <= Math.min(tx + 3, m - 1); x++) {
+                for (int y = Math.max(ty - 3, 0); y <= Math.min(ty + 3, n - 1); y++) {
+                    if (isNumber(board, x, y) && added.add(x * n + y)) numbers.add(x * n + y);
+                }
+            }
+        }
+        return numbers;
+    }
+
+    private boolean isNumber(Board board, int x, int y) {
+        int value = board.get(x, y);
+        return value > 0 && value <= 8;
+    }
+
+    // Collect the closed squares around (x, y), return the flags around it
+    private int closedAround(Board board, int x, int y, IntList closed) {
+        int flags = 0;
+        closed.clear();
+        for (int i = Math.max(x - 1, 0); i <= Math.min(x + 1, board.rows() - 1); i++) {
+            for (int j = Math.max(y - 1, 0); j <= Math.min(y + 1, board.columns() - 1); j++) {
+                if (board.get(i, j) == Board.CLOSED) closed.add(i * board.columns() + j);
+                else if (board.get(i, j) == Board.FLAGGED) flags++;
+            }
+        }
+        return flags;
+    }
+}
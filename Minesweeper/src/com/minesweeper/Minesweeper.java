@@ -1,15 +1,13 @@
 package com.minesweeper;
 
 
-import java.awt.*;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.LineNumberReader;
-import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.Vector;
-import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,7 +49,7 @@ import java.util.regex.Pattern;
  *
  ******************************************************************************/
 
-public class Minesweeper {
+public class Minesweeper implements Board {
 
     public final int MINE=9;
     public final int CLOSE=-1;
@@ -60,13 +58,25 @@ public class Minesweeper {
 
     private int[][] mineMap;
     private int[][] gameMap;
-    private TreeSet<String> mineList;
-    private int[][] board = null;
-    private boolean[][] flagMine = null;
-    private boolean[][] empty = null;
-    private ArrayList<boolean[]> solutions;
-    boolean optimization;
+    // a square (x, y) is identified by the cell id x * n + y
+    private IntSet mineList;
+    private int totalMines;
     private long timestart;
+    // numbered cells whose neighbourhood changed since they were last solved
+    private IntQueue dirty;
+    private IntSet queued;
+    // number of squares opened or flagged, used to detect a stuck solver
+    private int moves;
+    // cell id of every square opened or flagged, in order
+    private IntList moveLog = new IntList();
+    // closed squares left on gameMap, the game is solved when none are left
+    private int closed;
+    // headless runs (e.g. board generation) do not print or exit
+    private boolean verbose = true;
+    private boolean lost;
+    private int guesses;
+    private GameResult result;
+    private SolverPipeline pipeline = SolverPipeline.standard();
     public Minesweeper() {
 
     }
@@ -82,10 +92,11 @@ public class Minesweeper {
         mineMap = loadMineMap(filename);
         printMineMap();
 
-        gameMap = createGameMap(mineMap);
+        setGameMap(createGameMap(mineMap));
         printGameMap();
 
         mineList = getAllMineLocation(mineMap);
+        totalMines = mineList.size();
         System.out.println("Total mines: " + mineList.size());
     }
 
@@ -98,6 +109,21 @@ public class Minesweeper {
      * @return
      */
     public int[][] generateMineMap(int m, int n, double p) {
+        return generateMineMap(m, n, p, new Random(), 0, 0);
+    }
+
+    /**
+     * Generate a random mine map with a safe start square.
+     * @param m row
+     * @param n columns
+     * @param p probability of mine
+     * @param random source of randomness, seed it to reproduce a map
+     * @param safeX row of the start square in [1..m], 0 for no safe square
+     * @param safeY column of the start square in [1..n], 0 for no safe square
+     * The start square and its neighbours never hold a mine, so the start square is a blank.
+     * @return
+     */
+    public int[][] generateMineMap(int m, int n, double p, Random random, int safeX, int safeY) {
         //int m = Integer.parseInt(args[0]);
         //int n = Integer.parseInt(args[1]);
         //double p = Double.parseDouble(args[2]);
@@ -108,10 +134,16 @@ public class Minesweeper {
 
         for (int i = 1; i <= m; i++)
             for (int j = 1; j <= n; j++)
-                bombs[i][j] = (Math.random() < p);
+                bombs[i][j] = (random.nextDouble() < p);
+
+        if (safeX > 0 && safeY > 0) {
+            for (int i = safeX - 1; i <= safeX + 1; i++)
+                for (int j = safeY - 1; j <= safeY + 1; j++)
+                    bombs[i][j] = false;
+        }
 
         // print game
-        for (int i = 1; i <= m; i++) {
+        for (int i = 1; i <= m && verbose; i++) {
             for (int j = 1; j <= n; j++)
                 if (bombs[i][j]) System.out.print("* ");
                 else             System.out.print(". ");
@@ -128,7 +160,7 @@ public class Minesweeper {
                         if (ii>=0 && jj>=0 && ii<m+2 && jj<n+2 && bombs[ii][jj]) sol[i][j]++;
 
         // print solution
-        System.out.println();
+        if (verbose) System.out.println();
         for (int i = 0; i <= m+1; i++) {
             for (int j = 0; j <= n+1; j++) {
                 if (bombs[i][j]){
@@ -139,7 +171,7 @@ public class Minesweeper {
                     //System.out.print(sol[i][j] + " ");
                 }
             }
-            System.out.println();
+            if (verbose) System.out.println();
         }
 
         //printMap(mineMap);
@@ -148,6 +180,57 @@ public class Minesweeper {
 
     }
 
+    /**
+     * Random source for game number seed. java.util.Random gives almost the same
+     * first numbers for consecutive seeds, so the seed is mixed first (SplitMix64)
+     * to make games seed, seed + 1, ... unrelated but still reproducible.
+     * @param seed
+     * @return
+     */
+    public static Random seeded(long seed) {
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new Random(z ^ (z >>> 31));
+    }
+
+    /**
+     * Set up a game that is solved without printing, e.g. for campaigns and board generation.
+     * @param m row
+     * @param n columns
+     * @param p probability of mine
+     * @param random source of the mine map, see seeded()
+     * @param start true to open only a random start square, like a player's first click,
+     * false to open every blank square as createGameMap() does
+     * @param pipeline strategies used by solution()
+     * @return
+     */
+    public static Minesweeper headless(int m, int n, double p, Random random, boolean start, SolverPipeline pipeline) {
+        Minesweeper game = new Minesweeper();
+        game.setVerbose(false);
+        game.setPipeline(pipeline);
+
+        if (!start) {
+            int[][] mineMap = game.generateMineMap(m, n, p, random, 0, 0);
+            game.setMineMap(mineMap, game.getAllMineLocation(mineMap));
+            game.setGameMap(game.createGameMap(mineMap));
+            return game;
+        }
+
+        // start square anywhere in the playable grid [1..m][1..n]
+        int safeX = 1 + random.nextInt(m);
+        int safeY = 1 + random.nextInt(n);
+        int[][] mineMap = game.generateMineMap(m, n, p, random, safeX, safeY);
+        game.setMineMap(mineMap, game.getAllMineLocation(mineMap));
+
+        int[][] gameMap = new int[mineMap.length][mineMap[0].length];
+        for (int[] row : gameMap) Arrays.fill(row, game.CLOSE);
+        // generateMineMap() shifts the grid by one square inside its border
+        game.openSquare(safeX + 1, safeY + 1, gameMap);
+        game.setGameMap(gameMap);
+        return game;
+    }
+
     public int[][] createGameMap(int[][] mineMap){
 
         int m = mineMap.length;
@@ -186,13 +269,38 @@ public class Minesweeper {
      * @return if return true, it is not a mine. If it is false, you open up a mine!
      */
 
-    public void setMineMap(int[][] mineMap, TreeSet<String> mineList) {
+    public void setMineMap(int[][] mineMap, IntSet mineList) {
         this.mineMap = mineMap;
         this.mineList= mineList;
+        this.totalMines = mineList.size();
+    }
+    public int[][] getMineMap() {
+        return mineMap;
     }
+
     public void setGameMap(int[][] gameMap) {
         this.gameMap = gameMap;
         // this.oriMineList=oriMineList;
+        int m = gameMap.length;
+        int n = gameMap[0].length;
+        moves = 0;
+        moveLog = new IntList();
+        closed = 0;
+        for (int[] row : gameMap)
+            for (int square : row)
+                if (square == CLOSE) closed++;
+
+        // Every numbered square starts dirty, afterwards only changes are queued
+        dirty = new IntQueue(m * n);
+        queued = new IntSet(m * n);
+        for (int x = 0; x < m; x++) {
+            for (int y = 0; y < n; y++) {
+                if (gameMap[x][y] > 0 && gameMap[x][y] != MINE) {
+                    queued.add(x * n + y);
+                    dirty.add(x * n + y);
+                }
+            }
+        }
     }
     private boolean openSquare(int x, int y, int[][] gameMap){
 
@@ -200,6 +308,12 @@ public class Minesweeper {
 
             //open the square
             gameMap[x][y] = mineMap[x][y];
+            if (gameMap == this.gameMap) {
+                moves++;
+                moveLog.add(cell(x, y));
+                closed--;
+                markDirty(x, y);
+            }
 
 
             if (gameMap[x][y] == BLANK ){
@@ -215,9 +329,12 @@ public class Minesweeper {
                 //continue the game
                 return true;
             } else{
-                System.out.println("You lost");
-                System.exit(0);
                 //you open up a mine!!!
+                lost = true;
+                if (verbose) {
+                    System.out.println("You lost");
+                    System.exit(0);
+                }
                 return false;
             }
         } else{
@@ -230,6 +347,20 @@ public class Minesweeper {
 
 
 
+    // Queue the numbered squares around (x, y), including itself, to be solved again
+    private void markDirty(int x, int y) {
+        for (int i = x - 1; i <= x + 1; i++) {
+            for (int j = y - 1; j <= y + 1; j++) {
+                if (i >= 0 && j >= 0 && i < gameMap.length && j < gameMap[0].length
+                        && gameMap[i][j] > 0 && gameMap[i][j] != MINE && queued.add(cell(i, j))) {
+                    dirty.add(cell(i, j));
+                }
+            }
+        }
+    }
+
+
+
     public void saveMineMap(int[][] mineMap, String filename) {
         try {
             FileWriter fw = new FileWriter(filename);
@@ -250,13 +381,27 @@ public class Minesweeper {
         }
     }
 
+    public void setPipeline(SolverPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public SolverPipeline getPipeline() {
+        return pipeline;
+    }
+
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
     public void printGameMap() {
+        if (!verbose) return;
         System.out.println("GAME MAP");
         printMap(gameMap);
         System.out.println();
     }
 
     public void printMineMap() {
+        if (!verbose) return;
         System.out.println("MINE MAP");
         printMap(mineMap);
         System.out.println();
@@ -272,15 +417,15 @@ public class Minesweeper {
         }
     }
 
-    public TreeSet<String> getAllMineLocation(int[][] mineMap) {
+    public IntSet getAllMineLocation(int[][] mineMap) {
 
-        TreeSet<String> mineList = new TreeSet<String>();
+        int n = mineMap[0].length;
+        IntSet mineList = new IntSet(mineMap.length * n);
 
         for (int i = 0; i < mineMap.length; i++) {
             for (int j = 0; j < mineMap[i].length; j++) {
                 if (mineMap[i][j] == MINE) {
-                    String mine = i + " " + j;
-                    mineList.add(mine);
+                    mineList.add(i * n + j);
                     //System.out.println(i + " " + j);
                 }
             }
@@ -353,430 +498,152 @@ public class Minesweeper {
     }
 
 
-    private void solution() {
+    /**
+     * Solve the game with the pipeline, by default without guessing.
+     * @return true if every square is opened or flagged
+     */
+    boolean solution() {
         timestart = System.currentTimeMillis();
+        lost = false;
+        guesses = 0;
+        EngineSelector engines = pipeline.getEngines();
+        long nodesStart = engines == null ? 0 : engines.nodes();
+        long regionsStart = engines == null ? 0 : engines.regions();
+        if (engines != null) engines.resetMaxRegion();
+        long[] phaseStart = new long[pipeline.size()];
+        for (int i = 0; i < phaseStart.length; i++) phaseStart[i] = pipeline.getNanos(i);
         int m = mineMap.length;
         int n = mineMap[0].length;
-        int run = 0;
-        boolean tank = false;
-
-        for (int repeat = 1; repeat <= 100; repeat++) {
-
-            checkSolve();
 
-            if (run < 3) {
-                run++;
-            } else {
-                if (!tank) {
-                    tankAlgorithms();
-                    tank = true;
-                } else {
-
-                }
-            }
-//            }
-
-            for (int x = 0; x < m; x++) {
-                for (int y = 0; y < n; y++) {
-                    if (gameMap[x][y] > 0) {
-                        solveEach(x, y);
-                    }
-                }
-            }
+        // Cheap strategies first, the global search only when they are stuck
+        boolean solved = pipeline.run(this);
+
+        if (!solved && !lost && verbose) System.out.println("No more safe moves, the game needs a guess.");
+
+        result = new GameResult();
+        // generateMineMap() adds 4 border rows and columns around the m by n game
+        result.rows = m - 4;
+        result.columns = n - 4;
+        result.mines = totalMines;
+        result.outcome = solved ? GameResult.WON : lost ? GameResult.LOST : GameResult.STUCK;
+        result.guesses = guesses;
+        if (engines != null) {
+            result.nodes = engines.nodes() - nodesStart;
+            result.regions = (int) (engines.regions() - regionsStart);
+            result.maxRegion = engines.maxRegion();
         }
-    }
-    // return if won
-    private boolean checkSolve() {
-        int m = mineMap.length;
-        int n = mineMap[0].length;
-        for (int x = 0; x < m; x++) {
-            for (int y = 0; y < n; y++) {
-
-                if (gameMap[x][y] == CLOSE) return false;
+        result.phaseNanos = new long[phaseStart.length];
+        for (int i = 0; i < phaseStart.length; i++) result.phaseNanos[i] = pipeline.getNanos(i) - phaseStart[i];
 
-            }
+        if (solved && verbose) {
+            long time = System.currentTimeMillis() - timestart;
+            System.out.printf(" Congratulations you have solved the game.\n Time run (%dms)\n", time);
         }
-        long time = System.currentTimeMillis() - timestart;
-
-        System.out.printf(" Congratulations you have solved the game.\n Time run (%dms)\n", time);
-        System.exit(0);
-
-        return true;
+        return solved;
     }
-    private void solveEach( int x, int y) {
-
-        int countClosed = getSurroundType(x, y, CLOSE);
-        if (countClosed == 0) return;
-
-        int countAlreadyFlagged = getSurroundType(x, y, FLAG);
-        int countMinesAround = gameMap[x][y];
-
-        // First: flag as much as we can
-        if (countMinesAround == countClosed + countAlreadyFlagged) {
-            flagSurround(x, y);
-
-            countAlreadyFlagged = getSurroundType(x, y, FLAG);
-        }
-
-//        // Second: open the ones around
-        if (countMinesAround == countAlreadyFlagged) {
-
-            openSurround(x,y);
-            printGameMap();
-        }
+    @Override
+    public int rows() {
+        return gameMap.length;
     }
-    private int getSurroundType( int x, int y, int z) {
-        int hits = 0;
-        // top ■□□
-        if (y > 0) {
-            if (x > 0 && gameMap[x - 1][y - 1] == z) hits++;
-            if (gameMap[x][y - 1] == z) hits++;
-            if (x < mineMap.length - 1 && gameMap[x + 1][y - 1] == z) hits++;
-        }
-        // middle ■□□
-        if (x > 0 && gameMap[x - 1][y] == z) hits++;
-        if (x < mineMap.length - 1 && gameMap[x + 1][y] == z) hits++;
-        // bottom ■□□
-        if (y < mineMap[0].length - 1 ) {
-            if (x > 0 && gameMap[x - 1][y + 1] == z) hits++;
-            if (gameMap[x][y + 1] == z) hits++;
-            if (x < mineMap[0].length - 1 && x>=0 && gameMap[x + 1][y + 1] == z) hits++;
-        }
 
-        return hits;
-
-    }
-    public void flagSurround( int x, int y) {
-        // top ■□□
-        if (y > 0) {
-            if (x > 0)  tagMine(x - 1, y - 1);
-            tagMine(x, y - 1);
-            if (x < mineMap.length - 1 && x>=0)  tagMine(x + 1, y - 1);
-        }
-        // middle ■□□
-        if (x > 0)  tagMine(x - 1, y);
-        if (x + 1 < mineMap.length - 1 ) tagMine(x + 1, y);
-
-        // bottom ■□□
-        if (y + 1 < mineMap.length - 1 ) {
-            if (x > 0)  tagMine(x - 1, y + 1);
-            tagMine(x, y + 1);
-            if (x < mineMap.length- 1 ) tagMine(x + 1, y + 1);
-        }
+    @Override
+    public int columns() {
+        return gameMap[0].length;
     }
-    public void openSurround( int x, int y) {
-        //top
-        if (y > 0) {
-            if (x > 0)  openSquare(x - 1, y - 1,gameMap);
-            openSquare(x, y - 1,gameMap);
-            if (x < mineMap.length - 1 && x>=0)  openSquare(x + 1, y - 1,gameMap);
-        }
-        // middle ■□□
-        if (x > 0)  openSquare(x - 1, y,gameMap);
-        if (x + 1 < mineMap.length - 1 ) openSquare(x + 1, y,gameMap);
-
-        // bottom ■□□
-        if (y + 1 < mineMap.length - 1 ) {
-            if (x > 0)  openSquare(x - 1, y + 1,gameMap);
-            openSquare(x, y + 1,gameMap);
-            if (x < mineMap.length- 1 ) openSquare(x + 1, y + 1,gameMap);
-        }
-    }
-    //Tank algorithms: backtrack solution
-    // Brute force used if false
-
-
-    private void tankAlgorithms(){
-
-
-        ArrayList<Point> borderTiles = new ArrayList<>();
-        ArrayList<Point> blankTiles = new ArrayList<>();
-
-
-        borderTiles = getPoints(borderTiles, blankTiles);
-        if (borderTiles == null) return;
-        if (segregateBorderTiles(borderTiles)) return;
 
+    @Override
+    public int get(int x, int y) {
+        return gameMap[x][y];
     }
 
-
-    // Get list of full tiles
-    private ArrayList<Point> getPoints(ArrayList<Point> borderTiles, ArrayList<Point> blankTiles) {
-        int m = mineMap.length;
-        int n = mineMap[0].length;
-        // optimisation not run if only few tiles
-        optimization = false;
-        for (int x = 0; x < m; x++)
-            for (int y = 0; y < n; y++)
-                if (gameMap[x][y] == CLOSE && gameMap[x][y] != FLAG) blankTiles.add(new Point(x, y));
-
-        // Add all border tiles
-        for (int x = 0; x < m; x++)
-            for (int y = 0; y < n; y++)
-                if (isBorder(x, y) && gameMap[x][y] != FLAG) borderTiles.add(new Point(x, y));
-
-        // Count tiles outside range , 8 = limit for brute force
-        int countTilesOutsideRange = blankTiles.size() - borderTiles.size();
-        if (countTilesOutsideRange > 8) {
-            optimization = true;
-        } else borderTiles = blankTiles;
-
-
-        // return if something went wrong
-        if (borderTiles.size() == 0) return null;
-        return borderTiles;
+    @Override
+    public boolean open(int x, int y) {
+        boolean safe = openSquare(x, y, gameMap);
+        printGameMap();
+        return safe;
     }
-    // segregateBorderTiles before running recursive
-    // endgame, stop segregateBorderTiles as it may miss some mine
-    private boolean segregateBorderTiles(ArrayList<Point> borderTiles) {
-
-        int m = mineMap.length;
-        int n = mineMap[0].length;
-        ArrayList<ArrayList<Point>> segregate;
-        if (!optimization) {
-            segregate = new ArrayList<>();
-            segregate.add(borderTiles);
-        } else segregate = tilesSegregate(borderTiles);
-
-        for (int tileId = 0; tileId < segregate.size(); tileId++) {
-            // Copy all into temp
-            solutions = new ArrayList<>();
-            board = gameMap.clone();
-
-            flagMine = new boolean[m][n];
-            for (int x = 0; x < m; x++) {
-                for (int y = 0; y < n; y++) {
-                    flagMine[x][y] = gameMap[x][y] == FLAG;
-                }
-            }
-
-            empty = new boolean[m][n];
-            for (int x = 0; x < m; x++) {
-                for (int y = 0; y < n; y++) {
-                    empty[x][y] = board[x][y] >= 0;
-                }
-            }
-
-
-            recursive(segregate.get(tileId), 0);
-
-            // Something screwed up
-            if (solutions.size() == 0) return true;
-
-
-            // Check for solved squares
-            for (int i = 0; i < segregate.get(tileId).size(); i++) {
-                boolean mines = true,
-                        allOpen = true;
-                for (boolean[] solution : solutions) {
-                    if (!solution[i]) mines = false;
-                    if (solution[i]) allOpen = false;
-                }
-
-                Point tile = segregate.get(tileId).get(i);
 
-                if (mines) tagMine(tile.x, tile.y);
-                else if (allOpen) {
-                    openSquare(tile.x, tile.y,gameMap);
-                    printGameMap();
-                }
-            }
-        }
-        return false;
+    @Override
+    public boolean guess(int x, int y) {
+        guesses++;
+        if (verbose) System.out.printf("Guess (%d, %d)\n", x, y);
+        return open(x, y);
     }
 
-
-
-    //segregateBorderTiles only if 2 regions are independent to each other
-    private ArrayList<ArrayList<Point>> tilesSegregate(ArrayList<Point> borderTiles) {
-
-
-        ArrayList<ArrayList<Point>> regions = new ArrayList<>();
-        ArrayList<Point> list = new ArrayList<>();
-
-        while (true) {
-
-            LinkedList<Point> linkedList = new LinkedList<>();
-            ArrayList<Point> lastRegion = new ArrayList<>();
-
-            // Find start point
-            for (Point region : borderTiles) {
-                if (!list.contains(region)) {
-                    linkedList.add(region);
-                    break;
-                }
-            }
-
-            if (linkedList.isEmpty()) break;
-
-            while (!linkedList.isEmpty()) {
-
-                Point tile = linkedList.poll();
-                lastRegion.add(tile);
-                list.add(tile);
-                connectingTiles(borderTiles, linkedList, lastRegion, tile);
-
-            }
-
-            regions.add(lastRegion);
-
-        }
-
-        return regions;
-
+    @Override
+    public boolean flag(int x, int y) {
+        return tagMine(x, y);
     }
-    // Find connecting tiles
-    private void connectingTiles(ArrayList<Point> borderTiles, LinkedList<Point> linkedList, ArrayList<Point> lastRegion, Point tile) {
-        int m = mineMap.length;
-        int n = mineMap[0].length;
-        for (Point compareTile : borderTiles) {
-
-            boolean isConnect = false;
-
-            if (lastRegion.contains(compareTile)) continue;
-
-            if (Math.abs(tile.x - compareTile.x) > 2 || Math.abs(tile.y - compareTile.y) > 2) isConnect = false;
-            else {
-                // search the tiles
-                tileSearch: for (int x = 0; x < m; x++) {
-                    for (int y = 0; y < n; y++) {
-                        if (gameMap[x][y] > 0) {
-                            if (Math.abs(tile.x - x) <= 1 && Math.abs(tile.y - y) <= 1 &&
-                                    Math.abs(compareTile.x - x) <= 1 && Math.abs(compareTile.y - y) <= 1) {
-                                isConnect = true;
-                                break tileSearch;
-                            }
-                        }
-                    }
-                }
-            }
 
-            if (isConnect) {
-                if (!linkedList.contains(compareTile)) linkedList.add(compareTile);
-            }
-
-        }
+    @Override
+    public int mines() {
+        return totalMines;
     }
 
+    // Next numbered square from the dirty queue
+    @Override
+    public int pollChanged() {
+        if (dirty.isEmpty()) return -1;
+        int tile = dirty.poll();
+        queued.remove(tile);
+        return tile;
+    }
 
-    void recursive(ArrayList<Point> borderTiles, int level) {
-
-
-        int countflag = 0;
-        int m = mineMap.length;
-        int n = mineMap[0].length;
-        for (int x = 0; x < m; x++)
-            for (int y = 0; y < n; y++) {
-
-                // Count flags for endgame
-                if (flagMine[x][y]) countflag++;
-
-                int currentTiles = board[x][y];
-                if (currentTiles < 0) continue;
-
-                // Total tiles border
-                int countTilesBorder;
-                if ((x == 0 && y == 0) || (x == m - 1 && y == n - 1)) countTilesBorder = 3;
-                else if (x == 0 || y == 0 || x == m - 1 || y == n - 1) countTilesBorder = 5;
-                else countTilesBorder = 8;
-
-                // Situation: Multiple empty or multiple mines around
-                if ((countTilesBorder - countFlagsSurroundingTiles(empty, x, y) < currentTiles) ||
-                        (countFlagsSurroundingTiles(flagMine, x, y) > currentTiles)) return;
-
-            }
-        // Flags more than the original mine list size
-        if (countflag > mineList.size()) return;
-
-        // Problems solve
-        if (level == borderTiles.size()) {
-
-            if (!optimization && countflag < mineList.size()) return;
-
-            boolean[] solution = new boolean[borderTiles.size()];
-            for (int i = 0; i < borderTiles.size(); i++) {
-                Point tile = borderTiles.get(i);
-                solution[i] = flagMine[tile.x][tile.y];
-            }
-            solutions.add(solution);
-            return;
-        }
-
-        Point tile = borderTiles.get(level);
-
-        // Recursion for flag and no flag
-        flagMine[tile.x][tile.y] = true;
-        recursive(borderTiles, level + 1);
-        flagMine[tile.x][tile.y] = false;
+    @Override
+    public boolean isSolved() {
+        return checkSolve();
+    }
 
-        empty[tile.x][tile.y] = true;
-        recursive(borderTiles, level + 1);
-        empty[tile.x][tile.y] = false;
+    @Override
+    public boolean isLost() {
+        return lost;
+    }
 
+    @Override
+    public int moves() {
+        return moves;
     }
 
-    //count flags surrounding the tiles
-    private int countFlagsSurroundingTiles(boolean[][] array, int x, int y) {
-        int mines = 0;
-        //top
-        if (y > 0) {
-            if (x > 0 && array[x - 1][y - 1]) mines++;
-            if (array[x][y - 1]) mines++;
-            if (x < array.length - 1 && array[x + 1][y - 1]) mines++;
-        }
-        //middle
-        if (x > 0 && array[x - 1][y]) mines++;
-        if (x < array.length - 1 && array[x + 1][y]) mines++;
-
-        //bottom
-        if (y < array[0].length - 1) {
-            if (x > 0 && array[x - 1][y + 1]) mines++;
-            if (array[x][y + 1]) mines++;
-            if (x < array.length - 1 && array[x + 1][y + 1]) mines++;
-        }
+    @Override
+    public int moved(int i) {
+        return moveLog.get(i);
+    }
 
-        return mines;
+    // result of the last solution(), the seed is left for the caller to fill in
+    public GameResult getResult() {
+        return result;
     }
 
-    //find all border tiles: unopen square with open square next to it
-    private boolean isBorder(int x, int y) {
-        int m = mineMap.length;
-        int n = mineMap[0].length;
-        if (gameMap[x][y] != CLOSE) return false;
+    // return if won
+    private boolean checkSolve() {
+        return closed == 0;
+    }
 
-        //top
-        if (y > 0) {
-            if (x > 0 && gameMap[x - 1][y - 1] >= 0) return true;
-            if (gameMap[x][y - 1] >= 0) return true;
-            if (x < m - 1 && gameMap[x + 1][y - 1] >= 0) return true;
-        }
-        //middle
-        if (x > 0 && gameMap[x - 1][y] >= 0) return true;
-        if (x < m - 1 && gameMap[x + 1][y] >= 0) return true;
-
-        //bottom
-        if (y < n - 1) {
-            if (x > 0 && gameMap[x - 1][y + 1] >= 0) return true;
-            if (gameMap[x][y + 1] >= 0) return true;
-            if (x < m - 1 && gameMap[x + 1][y + 1] >= 0) return true;
-        }
-        return false;
+    // cell id of square (x, y), see mineList
+    private int cell(int x, int y) {
+        return x * mineMap[0].length + y;
     }
 
     public boolean tagMine(int i, int j) {
 
-        String mine = new String(i + " " + j);
+        int mine = cell(i, j);
         if(gameMap[i][j]==CLOSE && gameMap[i][j]!=FLAG){
             if(mineList.contains(mine)){
                 mineList.remove(mine);
-                System.out.println("CORRECT ANSWER!");
-                System.out.println("Number of mines: " + mineList.size());
+                if (verbose) {
+                    System.out.println("CORRECT ANSWER!");
+                    System.out.println("Number of mines: " + mineList.size());
+                }
                 gameMap[i][j]=FLAG;
+                moves++;
+                moveLog.add(mine);
+                closed--;
+                markDirty(i, j);
                 printGameMap();
                 return true;
             }
             else {
-                System.out.println("WRONG ANSWER!");
+                if (verbose) System.out.println("WRONG ANSWER!");
                 return false;
             }
         }
@@ -803,6 +670,7 @@ public class Minesweeper {
         System.out.println("*************");
 
         m.solution();
+        m.getPipeline().printReport();
         //boolean flag = m.openSquare(3, 8);
         //System.out.println(flag);
         //m.printGameMap();
@@ -0,0 +1,145 @@
+package com.minesweeper;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/******************************************************************************
+ *  Compilation:  javac NoGuessGenerator.java
+ *  Execution:    java NoGuessGenerator m n p count [seed]
+ *
+ *  Generates mine maps that can be solved without guessing.
+ *
+ *  Candidates are generated with generateMineMap() around a safe start square.
+ *  Only the start square is opened, as a player's first click would, then the
+ *  candidate is solved headless by Minesweeper.solution(). A candidate is kept
+ *  only if the solver finishes it without needing a guess. Most candidates are rejected
+ *  at high mine density, so every core generates and checks candidates
+ *  speculatively, and all workers stop as soon as enough maps are accepted.
+ *
+ *  Candidate k is generated from Minesweeper.seeded(seed + k), so an accepted map can be
+ *  reproduced from its candidate number. The result is always the lowest
+ *  accepted candidate numbers, whatever the number of cores, and map k is
+ *  saved as noguess<k>.txt.
+ *
+ ******************************************************************************/
+
+public class NoGuessGenerator {
+
+    private final int m;
+    private final int n;
+    private final double p;
+    private final long seed;
+    // give up after this many candidates, in case the density is too high
+    private long maxCandidates = 1_000_000;
+
+    public NoGuessGenerator(int m, int n, double p, long seed) {
+        this.m = m;
+        this.n = n;
+        this.p = p;
+        this.seed = seed;
+    }
+
+    public void setMaxCandidates(long maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Generate mine maps that are solved without guessing, using all cores.
+     * @param count number of mine maps wanted
+     * @return the lowest accepted candidate numbers and their mine maps, sorted by
+     * candidate number, fewer than count if maxCandidates ran out
+     */
+    public SortedMap<Long, int[][]> generate(int count) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        TreeMap<Long, int[][]> accepted = new TreeMap<>();
+        AtomicLong nextCandidate = new AtomicLong();
+        // once count maps are accepted, only candidates below the highest one can still get in
+        AtomicLong cutoff = new AtomicLong(count <= 0 ? 0 : Long.MAX_VALUE);
+        AtomicBoolean failed = new AtomicBoolean();
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                try {
+                    while (!failed.get()) {
+                        long candidate = nextCandidate.getAndIncrement();
+                        if (candidate >= maxCandidates || candidate >= cutoff.get()) break;
+
+                        int[][] mineMap = candidate(candidate);
+                        if (mineMap == null) continue;
+
+                        synchronized (accepted) {
+                            accepted.put(candidate, mineMap);
+                            if (accepted.size() > count) accepted.remove(accepted.lastKey());
+                            if (accepted.size() == count) cutoff.set(accepted.lastKey());
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    // stop the other workers, the error is reported by the future
+                    failed.set(true);
+                    throw e;
+                }
+            }));
+        }
+
+        pool.shutdown();
+        try {
+            for (Future<?> worker : workers) worker.get();
+        } catch (InterruptedException e) {
+            // stop the workers early, keep what was accepted so far
+            failed.set(true);
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            pool.shutdownNow();
+            throw new IllegalStateException("Checking a candidate failed", e.getCause());
+        }
+
+        synchronized (accepted) {
+            return new TreeMap<>(accepted);
+        }
+    }
+
+    /**
+     * Generate candidate k and solve it headless.
+     * @param k candidate number
+     * @return the mine map if it is solved without guessing, otherwise null
+     */
+    public int[][] candidate(long k) {
+        Minesweeper game = Minesweeper.headless(m, n, p, Minesweeper.seeded(seed + k), true,
+                SolverPipeline.standard());
+        return game.solution() ? game.getMineMap() : null;
+    }
+
+    public static void main(String[] args) {
+
+        int m = Integer.parseInt(args[0]);
+        int n = Integer.parseInt(args[1]);
+        double p = Double.parseDouble(args[2]);
+        int count = Integer.parseInt(args[3]);
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        long timestart = System.currentTimeMillis();
+        NoGuessGenerator generator = new NoGuessGenerator(m, n, p, seed);
+        SortedMap<Long, int[][]> mineMaps = generator.generate(count);
+        long time = System.currentTimeMillis() - timestart;
+
+        Minesweeper saver = new Minesweeper();
+        for (Long k : mineMaps.keySet()) {
+            saver.saveMineMap(mineMaps.get(k), "noguess" + k + ".txt");
+        }
+        System.out.printf(" Generated %d of %d no-guess maps from seed %d.\n Candidates %s\n Time run (%dms)\n",
+                mineMaps.size(), count, seed, mineMaps.keySet(), time);
+    }
+}
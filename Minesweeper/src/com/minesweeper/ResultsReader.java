@@ -0,0 +1,185 @@
+package com.minesweeper;
+
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams a results file written by ResultsWriter one block at a time.
+ *
+ * Only the current block is held in memory, so files with millions of records
+ * can be read with a few hundred kilobytes:
+ *
+ *      try (ResultsReader reader = new ResultsReader(file)) {
+ *          while (reader.next()) {
+ *              for (int i = 0; i < reader.size(); i++) ... reader.nodes(i) ...
+ *          }
+ *      }
+ */
+public class ResultsReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final String[] phases;
+    private final int recordBytes;
+    private ByteBuffer buffer;
+
+    private final long[] seed = new long[ResultsWriter.BLOCK];
+    private final int[] rows = new int[ResultsWriter.BLOCK];
+    private final int[] columns = new int[ResultsWriter.BLOCK];
+    private final int[] mines = new int[ResultsWriter.BLOCK];
+    private final byte[] outcome = new byte[ResultsWriter.BLOCK];
+    private final int[] guesses = new int[ResultsWriter.BLOCK];
+    private final long[] nodes = new long[ResultsWriter.BLOCK];
+    private final int[] regions = new int[ResultsWriter.BLOCK];
+    private final int[] maxRegion = new int[ResultsWriter.BLOCK];
+    private final long[][] phaseNanos;
+    private int size;
+
+    public ResultsReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            phases = readHeader(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        phaseNanos = new long[phases.length][ResultsWriter.BLOCK];
+        recordBytes = ResultsWriter.FIXED_BYTES + 8 * phases.length;
+        buffer = ByteBuffer.allocateDirect(ResultsWriter.BLOCK * recordBytes);
+    }
+
+    /**
+     * Load the next block of records.
+     * @return false at the end of the file
+     */
+    public boolean next() throws IOException {
+        ByteBuffer count = ByteBuffer.allocate(4);
+        if (!fill(channel, count, true)) {
+            size = 0;
+            return false;
+        }
+        size = count.getInt();
+        if (size <= 0 || size > ResultsWriter.BLOCK) throw new IOException("Bad block size " + size);
+
+        buffer.clear();
+        buffer.limit(size * recordBytes);
+        fill(channel, buffer, false);
+
+        for (int i = 0; i < size; i++) seed[i] = buffer.getLong();
+        for (int i = 0; i < size; i++) rows[i] = buffer.getInt();
+        for (int i = 0; i < size; i++) columns[i] = buffer.getInt();
+        for (int i = 0; i < size; i++) mines[i] = buffer.getInt();
+        buffer.get(outcome, 0, size);
+        for (int i = 0; i < size; i++) guesses[i] = buffer.getInt();
+        for (int i = 0; i < size; i++) nodes[i] = buffer.getLong();
+        for (int i = 0; i < size; i++) regions[i] = buffer.getInt();
+        for (int i = 0; i < size; i++) maxRegion[i] = buffer.getInt();
+        for (long[] phase : phaseNanos) {
+            for (int i = 0; i < size; i++) phase[i] = buffer.getLong();
+        }
+        return true;
+    }
+
+    public String[] getPhases() {
+        return phases.clone();
+    }
+
+    // records in the current block
+    public int size() {
+        return size;
+    }
+
+    public long seed(int i) {
+        return seed[i];
+    }
+
+    public int rows(int i) {
+        return rows[i];
+    }
+
+    public int columns(int i) {
+        return columns[i];
+    }
+
+    public int mines(int i) {
+        return mines[i];
+    }
+
+    public int outcome(int i) {
+        return outcome[i];
+    }
+
+    public int guesses(int i) {
+        return guesses[i];
+    }
+
+    public long nodes(int i) {
+        return nodes[i];
+    }
+
+    public int regions(int i) {
+        return regions[i];
+    }
+
+    public int maxRegion(int i) {
+        return maxRegion[i];
+    }
+
+    public long phaseNanos(int phase, int i) {
+        return phaseNanos[phase][i];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Stream a results file into a summary.
+     * @param file
+     * @return aggregates and percentiles of every record in the file
+     */
+    public static ResultsSummary summarize(Path file) throws IOException {
+        try (ResultsReader reader = new ResultsReader(file)) {
+            ResultsSummary summary = new ResultsSummary(reader.getPhases());
+            while (reader.next()) summary.add(reader);
+            return summary;
+        }
+    }
+
+    static String[] readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(7);
+        fill(channel, header, false);
+        if (header.getInt() != ResultsWriter.MAGIC) throw new IOException("Not a results file");
+        short version = header.getShort();
+        if (version != ResultsWriter.VERSION) throw new IOException("Unknown results version " + version);
+
+        String[] phases = new String[header.get() & 0xFF];
+        for (int p = 0; p < phases.length; p++) {
+            ByteBuffer length = ByteBuffer.allocate(2);
+            fill(channel, length, false);
+            ByteBuffer name = ByteBuffer.allocate(length.getShort());
+            fill(channel, name, false);
+            phases[p] = new String(name.array(), StandardCharsets.UTF_8);
+        }
+        return phases;
+    }
+
+    // read until the buffer is full, return false on a clean end of file
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, boolean endAllowed) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (endAllowed && buffer.position() == start) return false;
+                throw new EOFException("Results file ends in the middle of a block");
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+}
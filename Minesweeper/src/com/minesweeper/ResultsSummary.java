@@ -0,0 +1,92 @@
+package com.minesweeper;
+
+
+/**
+ * Aggregates of a results file, filled block by block by ResultsReader.
+ */
+public class ResultsSummary {
+
+    private final String[] phases;
+    private final long[] outcomes = new long[3];
+    private long guesses;
+    private long regions;
+    private int maxRegion;
+    private final Histogram nodes = new Histogram();
+    private final Histogram total = new Histogram();
+    private final Histogram[] phaseNanos;
+
+    public ResultsSummary(String[] phases) {
+        this.phases = phases.clone();
+        phaseNanos = new Histogram[phases.length];
+        for (int p = 0; p < phases.length; p++) phaseNanos[p] = new Histogram();
+    }
+
+    // add the current block of the reader
+    public void add(ResultsReader reader) {
+        for (int i = 0; i < reader.size(); i++) {
+            int outcome = reader.outcome(i);
+            if (outcome >= 0 && outcome < outcomes.length) outcomes[outcome]++;
+            guesses += reader.guesses(i);
+            regions += reader.regions(i);
+            maxRegion = Math.max(maxRegion, reader.maxRegion(i));
+            nodes.add(reader.nodes(i));
+
+            long game = 0;
+            for (int p = 0; p < phases.length; p++) {
+                phaseNanos[p].add(reader.phaseNanos(p, i));
+                game += reader.phaseNanos(p, i);
+            }
+            total.add(game);
+        }
+    }
+
+    public long games() {
+        return total.count();
+    }
+
+    // number of games with a GameResult outcome
+    public long outcomes(int outcome) {
+        return outcomes[outcome];
+    }
+
+    public long guesses() {
+        return guesses;
+    }
+
+    public long regions() {
+        return regions;
+    }
+
+    public int maxRegion() {
+        return maxRegion;
+    }
+
+    public Histogram nodes() {
+        return nodes;
+    }
+
+    // nanoseconds per game over all phases
+    public Histogram total() {
+        return total;
+    }
+
+    public Histogram phaseNanos(int phase) {
+        return phaseNanos[phase];
+    }
+
+    public void print() {
+        System.out.printf("Games %d: won %d, lost %d, stuck %d, guesses %d\n", games(),
+                outcomes[GameResult.WON], outcomes[GameResult.LOST], outcomes[GameResult.STUCK], guesses);
+        System.out.printf("Regions %d, largest region %d\n", regions, maxRegion);
+        System.out.println("COLUMN\t\tMEAN\tP50\tP90\tP99\tMAX");
+        print("nodes", nodes, 1);
+        print("total(us)", total, 1000);
+        for (int p = 0; p < phases.length; p++) print(phases[p] + "(us)", phaseNanos[p], 1000);
+    }
+
+    private void print(String name, Histogram histogram, long unit) {
+        System.out.printf("%-12s\t%.1f\t%d\t%d\t%d\t%d\n", name, histogram.mean() / unit,
+                histogram.percentile(50) / unit, histogram.percentile(90) / unit,
+                histogram.percentile(99) / unit, histogram.max() / unit);
+    }
+}
@@ -0,0 +1,196 @@
+package com.minesweeper;
+
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Appends GameResult records to a columnar binary results file.
+ *
+ * File layout (big endian):
+ *
+ *      header  int magic, short version, byte phases, then each phase name as
+ *              short length + UTF-8 bytes
+ *      block   int records, then one column after the other:
+ *              seed long, rows int, columns int, mines int, outcome byte,
+ *              guesses int, nodes long, regions int, maxRegion int,
+ *              then one long column per phase
+ *
+ * Records are buffered per column and written one block at a time through a
+ * FileChannel. Appending to an existing file checks that its phases match, and
+ * drops a last block that was cut short, e.g. by a killed campaign, so new
+ * blocks always follow a complete one.
+ */
+public class ResultsWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x4D535253; // "MSRS"
+    static final short VERSION = 1;
+    static final int BLOCK = 4096;
+    // bytes of one record without the phase columns
+    static final int FIXED_BYTES = 8 + 4 + 4 + 4 + 1 + 4 + 8 + 4 + 4;
+
+    private final FileChannel channel;
+    private final String[] phases;
+    private final ByteBuffer buffer;
+
+    private final long[] seed = new long[BLOCK];
+    private final int[] rows = new int[BLOCK];
+    private final int[] columns = new int[BLOCK];
+    private final int[] mines = new int[BLOCK];
+    private final byte[] outcome = new byte[BLOCK];
+    private final int[] guesses = new int[BLOCK];
+    private final long[] nodes = new long[BLOCK];
+    private final int[] regions = new int[BLOCK];
+    private final int[] maxRegion = new int[BLOCK];
+    private final long[][] phaseNanos;
+    private int size;
+
+    /**
+     * Open a results file for appending, creating it if needed.
+     * @param file
+     * @param phases names of the pipeline strategies, in order
+     * @throws IOException if the file exists and is not a results file, or has other phases
+     */
+    public ResultsWriter(Path file, String[] phases) throws IOException {
+        this.phases = phases.clone();
+        phaseNanos = new long[phases.length][BLOCK];
+        buffer = ByteBuffer.allocateDirect(4 + BLOCK * (FIXED_BYTES + 8 * phases.length));
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            open(file);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public ResultsWriter(Path file, SolverPipeline pipeline) throws IOException {
+        this(file, phaseNames(pipeline));
+    }
+
+    static String[] phaseNames(SolverPipeline pipeline) {
+        String[] names = new String[pipeline.size()];
+        for (int i = 0; i < names.length; i++) names[i] = pipeline.getName(i);
+        return names;
+    }
+
+    public void append(GameResult result) throws IOException {
+        seed[size] = result.seed;
+        rows[size] = result.rows;
+        columns[size] = result.columns;
+        mines[size] = result.mines;
+        outcome[size] = (byte) result.outcome;
+        guesses[size] = result.guesses;
+        nodes[size] = result.nodes;
+        regions[size] = result.regions;
+        maxRegion[size] = result.maxRegion;
+        for (int p = 0; p < phases.length; p++) {
+            phaseNanos[p][size] = p < result.phaseNanos.length ? result.phaseNanos[p] : 0;
+        }
+        if (++size == BLOCK) flush();
+    }
+
+    // write the buffered records as one block
+    public void flush() throws IOException {
+        if (size == 0) return;
+
+        buffer.clear();
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) buffer.putLong(seed[i]);
+        for (int i = 0; i < size; i++) buffer.putInt(rows[i]);
+        for (int i = 0; i < size; i++) buffer.putInt(columns[i]);
+        for (int i = 0; i < size; i++) buffer.putInt(mines[i]);
+        buffer.put(outcome, 0, size);
+        for (int i = 0; i < size; i++) buffer.putInt(guesses[i]);
+        for (int i = 0; i < size; i++) buffer.putLong(nodes[i]);
+        for (int i = 0; i < size; i++) buffer.putInt(regions[i]);
+        for (int i = 0; i < size; i++) buffer.putInt(maxRegion[i]);
+        for (long[] phase : phaseNanos) {
+            for (int i = 0; i < size; i++) buffer.putLong(phase[i]);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        size = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // check the header of an existing file and move to the end of its last complete block
+    private void open(Path file) throws IOException {
+        if (channel.size() == 0) {
+            writeHeader();
+            return;
+        }
+
+        // never overwrite a file that is not ours
+        if (channel.size() < 4) throw new IOException("Not a results file");
+        ByteBuffer magic = ByteBuffer.allocate(4);
+        while (magic.hasRemaining()) channel.read(magic, magic.position());
+        if (magic.getInt(0) != MAGIC) throw new IOException("Not a results file");
+
+        String[] existing;
+        try {
+            existing = ResultsReader.readHeader(channel);
+        } catch (EOFException e) {
+            // the header itself was cut short, there are no records to keep
+            channel.truncate(0);
+            channel.position(0);
+            writeHeader();
+            return;
+        }
+        if (!Arrays.equals(existing, phases)) {
+            throw new IOException("Phases " + Arrays.toString(existing) + " in " + file
+                    + " do not match " + Arrays.toString(phases));
+        }
+
+        long recordBytes = FIXED_BYTES + 8L * phases.length;
+        long end = channel.position();
+        long length = channel.size();
+        ByteBuffer count = ByteBuffer.allocate(4);
+        while (length - end >= 4) {
+            count.clear();
+            while (count.hasRemaining()) channel.read(count, end + count.position());
+            int records = count.getInt(0);
+            if (records <= 0 || records > BLOCK || end + 4 + records * recordBytes > length) break;
+            end += 4 + records * recordBytes;
+        }
+
+        if (end < length) channel.truncate(end);
+        channel.position(end);
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(1024);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.put((byte) phases.length);
+        for (String phase : phases) {
+            byte[] name = phase.getBytes(StandardCharsets.UTF_8);
+            if (header.remaining() < 2 + name.length) {
+                ByteBuffer grow = ByteBuffer.allocate(header.capacity() * 2 + name.length);
+                header.flip();
+                grow.put(header);
+                header = grow;
+            }
+            header.putShort((short) name.length);
+            header.put(name);
+        }
+        header.flip();
+        while (header.hasRemaining()) channel.write(header);
+    }
+}
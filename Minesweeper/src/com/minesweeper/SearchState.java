@@ -0,0 +1,105 @@
+package com.minesweeper;
+
+
+/**
+ * Mine and empty grids used by the tank search.
+ *
+ * The grids are built from the board once. Every guess made by the search is
+ * recorded on a trail, so going back to a checkpoint only undoes the squares that
+ * were changed since, instead of copying the whole map again.
+ *
+ * A checkpoint is also a cheap snapshot for what-if probing:
+ *
+ *      int mark = state.checkpoint();
+ *      state.assign(x, y, false);   // assume (x, y) is safe
+ *      ...                          // see what follows
+ *      state.undo(mark);
+ */
+class SearchState {
+
+    final boolean[][] flagMine;
+    final boolean[][] empty;
+    private final int n;
+    private int flags;
+
+    // each entry is (x * n + y) * 2, plus 1 if the square was assumed to be a mine
+    private int[] trail = new int[64];
+    private int size;
+
+    SearchState(Board board) {
+        int m = board.rows();
+        n = board.columns();
+        flagMine = new boolean[m][n];
+        empty = new boolean[m][n];
+        for (int x = 0; x < m; x++) {
+            for (int y = 0; y < n; y++) {
+                if (board.get(x, y) == Board.FLAGGED) set(x, y, true);
+                else if (board.get(x, y) >= 0) set(x, y, false);
+            }
+        }
+    }
+
+    /**
+     * Record a known square, e.g. one the game opened or flagged. Not undone.
+     * @param x
+     * @param y
+     * @param mine true if the square is flagged, false if it is open
+     */
+    void set(int x, int y, boolean mine) {
+        if (mine) {
+            if (!flagMine[x][y]) flags++;
+            flagMine[x][y] = true;
+        } else {
+            empty[x][y] = true;
+        }
+    }
+
+    /**
+     * Assume a square is a mine or empty. Undone by undo().
+     * @param x
+     * @param y
+     * @param mine
+     */
+    void assign(int x, int y, boolean mine) {
+        if (mine ? flagMine[x][y] : empty[x][y]) return;
+
+        if (size == trail.length) {
+            int[] grow = new int[size * 2];
+            System.arraycopy(trail, 0, grow, 0, size);
+            trail = grow;
+        }
+        trail[size++] = (x * n + y) * 2 + (mine ? 1 : 0);
+
+        if (mine) {
+            flagMine[x][y] = true;
+            flags++;
+        } else {
+            empty[x][y] = true;
+        }
+    }
+
+    int checkpoint() {
+        return size;
+    }
+
+    // undo every assignment made after the checkpoint
+    void undo(int checkpoint) {
+        while (size > checkpoint) {
+            int entry = trail[--size];
+            int cell = entry / 2;
+            int x = cell / n;
+            int y = cell % n;
+            if ((entry & 1) == 1) {
+                flagMine[x][y] = false;
+                flags--;
+            } else {
+                empty[x][y] = false;
+            }
+        }
+    }
+
+    // number of squares flagged or assumed to be mines
+    int flags() {
+        return flags;
+    }
+}
@@ -0,0 +1,62 @@
+package com.minesweeper;
+
+
+/**
+ * Solves one numbered square at a time, for every square whose neighbourhood changed.
+ *
+ * If the closed squares around a number must all be mines they are flagged, and if
+ * the number already has all its flags the closed squares around it are opened.
+ */
+public class SimpleRuleStrategy implements SolverStrategy {
+
+    @Override
+    public boolean apply(Board board) {
+        int n = board.columns();
+        int before = board.moves();
+        for (int tile = board.pollChanged(); tile >= 0 && !board.isLost(); tile = board.pollChanged()) {
+            solveEach(board, tile / n, tile % n);
+        }
+        return board.moves() != before;
+    }
+
+    private void solveEach(Board board, int x, int y) {
+
+        int countClosed = countAround(board, x, y, Board.CLOSED);
+        if (countClosed == 0) return;
+
+        int countAlreadyFlagged = countAround(board, x, y, Board.FLAGGED);
+        int countMinesAround = board.get(x, y);
+
+        // First: flag as much as we can
+        if (countMinesAround == countClosed + countAlreadyFlagged) {
+            forEachClosed(board, x, y, true);
+            countAlreadyFlagged = countAround(board, x, y, Board.FLAGGED);
+        }
+
+        // Second: open the ones around
+        if (countMinesAround == countAlreadyFlagged) {
+            forEachClosed(board, x, y, false);
+        }
+    }
+
+    private int countAround(Board board, int x, int y, int type) {
+        int hits = 0;
+        for (int i = Math.max(x - 1, 0); i <= Math.min(x + 1, board.rows() - 1); i++) {
+            for (int j = Math.max(y - 1, 0); j <= Math.min(y + 1, board.columns() - 1); j++) {
+                if (board.get(i, j) == type) hits++;
+            }
+        }
+        return hits;
+    }
+
+    // flag or open every closed square around (x, y)
+    private void forEachClosed(Board board, int x, int y, boolean flag) {
+        for (int i = Math.max(x - 1, 0); i <= Math.min(x + 1, board.rows() - 1); i++) {
+            for (int j = Math.max(y - 1, 0); j <= Math.min(y + 1, board.columns() - 1); j++) {
+                if (board.get(i, j) != Board.CLOSED) continue;
+                if (flag) board.flag(i, j);
+                else board.open(i, j);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.minesweeper;
+
+
+import java.util.ArrayList;
+
+/**
+ * Runs solver strategies in order until the game is solved.
+ *
+ * Strategies are ordered from cheapest to most expensive. The first strategy that
+ * makes a move sends the runner back to the start of the list, so an expensive
+ * strategy only runs once all cheaper ones are stuck. The runner stops when no
+ * strategy can move. It keeps the calls, moves and time spent in every strategy.
+ *
+ * standard() never guesses, withGuessing() adds a last strategy that opens the
+ * square least likely to be a mine.
+ */
+public class SolverPipeline {
+
+    private final ArrayList<String> names = new ArrayList<>();
+    private final ArrayList<SolverStrategy> strategies = new ArrayList<>();
+    private final ArrayList<long[]> stats = new ArrayList<>();
+    // shared by the strategies that solve regions, null if there are none
+    private EngineSelector engines;
+
+    public SolverPipeline() {
+    }
+
+    public SolverPipeline(EngineSelector engines) {
+        this.engines = engines;
+    }
+
+    // strategies that deduce squares without guessing
+    public static SolverPipeline standard() {
+        SolverPipeline pipeline = new SolverPipeline(new EngineSelector());
+        pipeline.add("simple", new SimpleRuleStrategy());
+        pipeline.add("local", new LocalConstraintStrategy());
+        pipeline.add("exact", new ExactStrategy(pipeline.getEngines()));
+        return pipeline;
+    }
+
+    public static SolverPipeline withGuessing() {
+        SolverPipeline pipeline = standard();
+        pipeline.add("guess", new GuessStrategy(pipeline.getEngines()));
+        return pipeline;
+    }
+
+    // add a strategy after the ones already in the pipeline
+    public SolverPipeline add(String name, SolverStrategy strategy) {
+        names.add(name);
+        strategies.add(strategy);
+        // calls, squares opened or flagged, nanoseconds
+        stats.add(new long[3]);
+        return this;
+    }
+
+    public EngineSelector getEngines() {
+        return engines;
+    }
+
+    /**
+     * Run the strategies on a game.
+     * @param game
+     * @return true if the game is solved
+     */
+    public boolean run(Board game) {
+        while (!game.isSolved()) {
+            boolean moved = false;
+            for (int i = 0; i < strategies.size() && !moved; i++) {
+                long start = System.nanoTime();
+                int before = game.moves();
+                moved = strategies.get(i).apply(game);
+                long[] stat = stats.get(i);
+                stat[0]++;
+                stat[1] += game.moves() - before;
+                stat[2] += System.nanoTime() - start;
+
+                if (game.isLost()) return false;
+            }
+            // every strategy is stuck
+            if (!moved) return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return strategies.size();
+    }
+
+    public String getName(int strategy) {
+        return names.get(strategy);
+    }
+
+    public long getCalls(int strategy) {
+        return stats.get(strategy)[0];
+    }
+
+    public long getMoves(int strategy) {
+        return stats.get(strategy)[1];
+    }
+
+    public long getNanos(int strategy) {
+        return stats.get(strategy)[2];
+    }
+
+    public void printReport() {
+        System.out.println("STRATEGY\tCALLS\tMOVES\tTIME(us)");
+        for (int i = 0; i < strategies.size(); i++) {
+            System.out.println(getName(i) + "\t\t" + getCalls(i) + "\t" + getMoves(i) + "\t" + getNanos(i) / 1000);
+        }
+        if (engines == null) return;
+        System.out.println("ENGINE\t\tREGIONS\tTIME(us)");
+        for (int e = 0; e < EngineSelector.NAMES.length; e++) {
+            System.out.println(EngineSelector.NAMES[e] + "\t" + engines.runs(e) + "\t" + engines.nanos(e) / 1000);
+        }
+    }
+}
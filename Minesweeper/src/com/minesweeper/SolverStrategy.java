@@ -0,0 +1,18 @@
+package com.minesweeper;
+
+
+/**
+ * One step of the solver, run by a SolverPipeline.
+ *
+ * A strategy looks at the board and opens or flags squares it is sure about
+ * (or, for a guessing strategy, the square it thinks is safest). Anything else it
+ * needs, e.g. an EngineSelector, is passed to its constructor.
+ */
+public interface SolverStrategy {
+
+    /**
+     * @param board the game being solved
+     * @return true if the strategy opened or flagged at least one square
+     */
+    boolean apply(Board board);
+}